@@ -0,0 +1,352 @@
+package learning.junit;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Chains MyCalculator operations over int arrays and evaluates the whole chain in a single pass.
+ * <p>
+ * Each step is compiled once, when the pipeline is built, into a small stage object that hands its
+ * result straight to the next stage, so the per-element loop never looks up the steps and no
+ * intermediate arrays or boxed values are created. Each stage still calls the next one virtually;
+ * stage classes are shared by all pipelines, so the JIT may not inline longer chains.
+ * <p>
+ * When the calculator is exactly MyCalculator, whose add and gcd are pure arithmetic, consecutive
+ * add steps are folded into one call and gcd with a small positive operand is answered from a table.
+ * Subclasses get one calculator call per step and element instead.
+ * <p>
+ * Pipelines are immutable: every step returns a new pipeline. Large inputs can optionally be split
+ * across a ForkJoinPool.
+ */
+public final class CalculatorPipeline {
+
+    // Inputs are split into segments of this size; shorter inputs are always evaluated on the calling thread
+    static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    // Largest gcd operand for which the gcd stage is compiled into a lookup table
+    static final int GCD_TABLE_LIMIT = 1 << 12;
+
+    // Marks an element rejected by a filter; never a valid result since results fit in an int
+    private static final long FILTERED = Long.MIN_VALUE;
+
+    private final MyCalculator calculator;
+    private final Step[] steps;
+    private final Stage head;
+    private final ForkJoinPool pool;
+
+    private CalculatorPipeline(MyCalculator calculator, Step[] steps, ForkJoinPool pool) {
+        this.calculator = calculator;
+        this.steps = steps;
+        this.head = compile(calculator, steps);
+        this.pool = pool;
+    }
+
+    // Starts an empty pipeline, which returns its input unchanged
+    public static CalculatorPipeline of(MyCalculator calculator) {
+        return new CalculatorPipeline(Objects.requireNonNull(calculator, "calculator"), new Step[0], null);
+    }
+
+    // Adds the operand to every element
+    public CalculatorPipeline add(int operand) {
+        return withStep(new Step(StepType.ADD, operand));
+    }
+
+    // Replaces every element with its gcd with the operand, following MyCalculator.gcd validation
+    public CalculatorPipeline gcd(int operand) {
+        return withStep(new Step(StepType.GCD, operand));
+    }
+
+    // Keeps only even elements
+    public CalculatorPipeline filterEven() {
+        return withStep(new Step(StepType.FILTER_EVEN, 0));
+    }
+
+    // Keeps only odd elements
+    public CalculatorPipeline filterOdd() {
+        return withStep(new Step(StepType.FILTER_ODD, 0));
+    }
+
+    // Splits inputs of at least PARALLEL_THRESHOLD elements across the given pool
+    public CalculatorPipeline parallel(ForkJoinPool pool) {
+        return new CalculatorPipeline(calculator, steps, Objects.requireNonNull(pool, "pool"));
+    }
+
+    // Evaluates on the calling thread only
+    public CalculatorPipeline sequential() {
+        return new CalculatorPipeline(calculator, steps, null);
+    }
+
+    // Returns the surviving elements in input order
+    public int[] toArray(int[] input) {
+        if (!isParallel(input)) {
+            int[] out = new int[input.length];
+            int size = collectSegment(input, 0, input.length, out);
+            return size == out.length ? out : Arrays.copyOf(out, size);
+        }
+
+        // First pass: every segment stages its survivors at its own offset and records how many there are
+        int segments = (input.length + PARALLEL_THRESHOLD - 1) / PARALLEL_THRESHOLD;
+        int[] staging = new int[input.length];
+        int[] counts = new int[segments];
+        pool.invoke(new SegmentAction(0, segments, segment -> {
+            int from = segment * PARALLEL_THRESHOLD;
+            counts[segment] = collectSegment(input, from, Math.min(input.length, from + PARALLEL_THRESHOLD), staging);
+        }));
+
+        int[] offsets = new int[segments];
+        int size = 0;
+        for (int segment = 0; segment < segments; segment++) {
+            offsets[segment] = size;
+            size += counts[segment];
+        }
+
+        // Second pass: every segment copies its survivors straight to their final position
+        int[] out = new int[size];
+        pool.invoke(new SegmentAction(0, segments, segment ->
+                System.arraycopy(staging, segment * PARALLEL_THRESHOLD, out, offsets[segment], counts[segment])));
+        return out;
+    }
+
+    // Returns the sum of the surviving elements, accumulated as a long to avoid overflow
+    public long sum(int[] input) {
+        return reduce(input, false);
+    }
+
+    // Returns the number of surviving elements
+    public int count(int[] input) {
+        return (int) reduce(input, true);
+    }
+
+    private CalculatorPipeline withStep(Step step) {
+        Step[] newSteps = Arrays.copyOf(steps, steps.length + 1);
+        newSteps[steps.length] = step;
+        return new CalculatorPipeline(calculator, newSteps, pool);
+    }
+
+    private boolean isParallel(int[] input) {
+        return pool != null && input.length >= PARALLEL_THRESHOLD;
+    }
+
+    private long reduce(int[] input, boolean countOnly) {
+        if (!isParallel(input)) {
+            return reduceSegment(input, 0, input.length, countOnly);
+        }
+        return pool.invoke(new ReduceTask(input, 0, input.length, countOnly));
+    }
+
+    // Applies the chain to input[from, to) and compacts the survivors into out starting at index from
+    private int collectSegment(int[] input, int from, int to, int[] out) {
+        Stage stage = head;
+        int written = from;
+        for (int i = from; i < to; i++) {
+            long result = stage.apply(input[i]);
+            if (result != FILTERED) {
+                out[written++] = (int) result;
+            }
+        }
+        return written - from;
+    }
+
+    private long reduceSegment(int[] input, int from, int to, boolean countOnly) {
+        Stage stage = head;
+        long accumulator = 0;
+        for (int i = from; i < to; i++) {
+            long result = stage.apply(input[i]);
+            if (result != FILTERED) {
+                accumulator += countOnly ? 1 : result;
+            }
+        }
+        return accumulator;
+    }
+
+    // Builds the stage chain back to front. Arithmetic rewrites are only applied to the plain MyCalculator,
+    // since a subclass may override add or gcd.
+    private static Stage compile(MyCalculator calculator, Step[] steps) {
+        boolean standardArithmetic = calculator.getClass() == MyCalculator.class;
+        Stage next = new End();
+        for (int i = steps.length - 1; i >= 0; i--) {
+            Step step = steps[i];
+            switch (step.type()) {
+                case ADD -> {
+                    int operand = step.operand();
+                    // int addition wraps the same way whether the operands are added one by one or summed first
+                    while (standardArithmetic && i > 0 && steps[i - 1].type() == StepType.ADD) {
+                        operand += steps[--i].operand();
+                    }
+                    next = new Add(calculator, operand, next);
+                }
+                case GCD -> next = standardArithmetic && step.operand() > 0 && step.operand() <= GCD_TABLE_LIMIT
+                        ? new GcdTable(calculator, step.operand(), next)
+                        : new Gcd(calculator, step.operand(), next);
+                case FILTER_EVEN -> next = new KeepEven(calculator, next);
+                case FILTER_ODD -> next = new KeepOdd(calculator, next);
+            }
+        }
+        return next;
+    }
+
+    private enum StepType { ADD, GCD, FILTER_EVEN, FILTER_ODD }
+
+    private record Step(StepType type, int operand) {
+    }
+
+    // A compiled step: transforms or rejects one element and passes the result on to the next stage
+    private abstract static class Stage {
+        abstract long apply(int value);
+    }
+
+    private static final class End extends Stage {
+        @Override
+        long apply(int value) {
+            return value;
+        }
+    }
+
+    private static final class Add extends Stage {
+        private final MyCalculator calculator;
+        private final int operand;
+        private final Stage next;
+
+        Add(MyCalculator calculator, int operand, Stage next) {
+            this.calculator = calculator;
+            this.operand = operand;
+            this.next = next;
+        }
+
+        @Override
+        long apply(int value) {
+            return next.apply(calculator.add(value, operand));
+        }
+    }
+
+    private static final class Gcd extends Stage {
+        private final MyCalculator calculator;
+        private final int operand;
+        private final Stage next;
+
+        Gcd(MyCalculator calculator, int operand, Stage next) {
+            this.calculator = calculator;
+            this.operand = operand;
+            this.next = next;
+        }
+
+        @Override
+        long apply(int value) {
+            return next.apply(calculator.gcd(value, operand));
+        }
+    }
+
+    // gcd(value, operand) == gcd(operand, value % operand) for non-negative values, so with a small
+    // positive operand every result is one of operand possible values and can be precomputed
+    private static final class GcdTable extends Stage {
+        private final MyCalculator calculator;
+        private final int operand;
+        private final int[] table;
+        private final Stage next;
+
+        GcdTable(MyCalculator calculator, int operand, Stage next) {
+            this.calculator = calculator;
+            this.operand = operand;
+            this.table = new int[operand];
+            for (int remainder = 0; remainder < operand; remainder++) {
+                table[remainder] = calculator.gcd(operand, remainder);
+            }
+            this.next = next;
+        }
+
+        @Override
+        long apply(int value) {
+            // Negative values go through MyCalculator so they fail with its usual exception
+            return next.apply(value < 0 ? calculator.gcd(value, operand) : table[value % operand]);
+        }
+    }
+
+    private static final class KeepEven extends Stage {
+        private final MyCalculator calculator;
+        private final Stage next;
+
+        KeepEven(MyCalculator calculator, Stage next) {
+            this.calculator = calculator;
+            this.next = next;
+        }
+
+        @Override
+        long apply(int value) {
+            return calculator.isEven(value) ? next.apply(value) : FILTERED;
+        }
+    }
+
+    private static final class KeepOdd extends Stage {
+        private final MyCalculator calculator;
+        private final Stage next;
+
+        KeepOdd(MyCalculator calculator, Stage next) {
+            this.calculator = calculator;
+            this.next = next;
+        }
+
+        @Override
+        long apply(int value) {
+            return calculator.isEven(value) ? FILTERED : next.apply(value);
+        }
+    }
+
+    // Runs an action for every segment index in [from, to), splitting until one segment is left
+    private static final class SegmentAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final transient IntConsumer action;
+
+        SegmentAction(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SegmentAction(from, mid, action), new SegmentAction(mid, to, action));
+        }
+    }
+
+    private final class ReduceTask extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] input;
+        private final int from;
+        private final int to;
+        private final boolean countOnly;
+
+        ReduceTask(int[] input, int from, int to, boolean countOnly) {
+            this.input = input;
+            this.from = from;
+            this.to = to;
+            this.countOnly = countOnly;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return reduceSegment(input, from, to, countOnly);
+            }
+            int mid = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(input, from, mid, countOnly);
+            left.fork();
+            long right = new ReduceTask(input, mid, to, countOnly).compute();
+            return left.join() + right;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package learning.junit.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public final class InvalidRequestParameterException extends RuntimeException {
+
+    private final String parameterName;
+
+    public InvalidRequestParameterException(String parameterName) {
+        super("Invalid request parameter: " + parameterName);
+        this.parameterName = parameterName;
+    }
+}
@@ -1,11 +1,25 @@
 package learning.junit.exceptions;
 
 import lombok.Getter;
-import org.springframework.http.HttpStatus;
 
+/**
+ * Thrown when no user exists for the requested id.
+ * <p>
+ * A miss is an expected outcome rather than a programming error, so the stack trace is
+ * not captured and the message is only built when someone actually asks for it.
+ */
 @Getter
 public final class UserNotFoundException extends RuntimeException {
-    public MyCustomException(String message) {
-        super(message);
+
+    private final Long userId;
+
+    public UserNotFoundException(Long userId) {
+        super(null, null, false, false);
+        this.userId = userId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "User not found with id: " + userId;
     }
-}
\ No newline at end of file
+}
@@ -25,6 +25,11 @@ public class UserRepository {
         return Optional.ofNullable(database.get(id));
     }
 
+    // Allocation-free variant of findById for hot paths: returns null when the id is unknown
+    public User findByIdOrNull(Long id) {
+        return database.get(id);
+    }
+
     public List<User> findAll() {
         return new ArrayList<>(database.values());
     }
@@ -9,6 +9,14 @@ public interface IUserService {
 
     User getUserById(Long id);
 
+    /**
+     * Looks up a user without treating a miss as an error.
+     *
+     * @return the user, or {@code null} when no user exists for the given id
+     * @throws learning.junit.exceptions.InvalidRequestParameterException if {@code id} is null
+     */
+    User findUser(Long id);
+
     List<User> getListOfUsers();
 
     List<User> findByRole(String role);
@@ -22,12 +22,21 @@ public class UserServiceImpl implements IUserService {
         return userRepository.save(user);
     }
 
+    @Override
     public User getUserById(Long id) {
+        User user = findUser(id);
+        if (user == null) {
+            throw new UserNotFoundException(id);
+        }
+        return user;
+    }
+
+    @Override
+    public User findUser(Long id) {
         if (id == null) {
             throw new InvalidRequestParameterException("id");
         }
-        return userRepository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException(id));
+        return userRepository.findByIdOrNull(id);
     }
 
 
@@ -0,0 +1,165 @@
+package learning.junit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the fused CalculatorPipeline against the equivalent step-by-step MyCalculator calls.
+ * The plain benchmarks run the chain add(3), gcd(6000), isEven; the arithmetic* ones run
+ * add(3), isEven, add(5), isOdd, add(1), where per-step overhead rather than gcd dominates.
+ * Both chains avoid the pipeline's arithmetic rewrites (gcd table, folded additions), so the
+ * comparison measures fusion alone.
+ * <p>
+ * Not part of the test run; start it through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorPipelineBenchmark {
+
+    private static final int ADDEND = 3;
+    // Above CalculatorPipeline.GCD_TABLE_LIMIT, so both sides run Euclid through MyCalculator.gcd
+    private static final int DIVISOR = 6000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private MyCalculator calculator;
+    private int[] input;
+    private List<Integer> boxedInput;
+    private CalculatorPipeline pipeline;
+    private CalculatorPipeline parallelPipeline;
+    private CalculatorPipeline arithmeticPipeline;
+    private CalculatorPipeline arithmeticParallelPipeline;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        calculator = new MyCalculator();
+        input = new Random(42).ints(size, 0, 1_000_000).toArray();
+        boxedInput = new ArrayList<>(size);
+        for (int value : input) {
+            boxedInput.add(value);
+        }
+        pool = new ForkJoinPool();
+        pipeline = CalculatorPipeline.of(calculator).add(ADDEND).gcd(DIVISOR).filterEven();
+        parallelPipeline = pipeline.parallel(pool);
+        arithmeticPipeline = CalculatorPipeline.of(calculator).add(3).filterEven().add(5).filterOdd().add(1);
+        arithmeticParallelPipeline = arithmeticPipeline.parallel(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    // One array per step, as when chaining the calculator methods by hand
+    @Benchmark
+    public int[] stepByStepArrays() {
+        int[] added = new int[input.length];
+        for (int i = 0; i < input.length; i++) {
+            added[i] = calculator.add(input[i], ADDEND);
+        }
+        int[] reduced = new int[added.length];
+        for (int i = 0; i < added.length; i++) {
+            reduced[i] = calculator.gcd(added[i], DIVISOR);
+        }
+        int[] filtered = new int[reduced.length];
+        int count = 0;
+        for (int value : reduced) {
+            if (calculator.isEven(value)) {
+                filtered[count++] = value;
+            }
+        }
+        return Arrays.copyOf(filtered, count);
+    }
+
+    // One list per step over boxed values, as with getIterable()-style APIs
+    @Benchmark
+    public List<Integer> stepByStepBoxed() {
+        List<Integer> added = new ArrayList<>(boxedInput.size());
+        for (Integer value : boxedInput) {
+            added.add(calculator.add(value, ADDEND));
+        }
+        List<Integer> reduced = new ArrayList<>(added.size());
+        for (Integer value : added) {
+            reduced.add(calculator.gcd(value, DIVISOR));
+        }
+        List<Integer> filtered = new ArrayList<>();
+        for (Integer value : reduced) {
+            if (calculator.isEven(value)) {
+                filtered.add(value);
+            }
+        }
+        return filtered;
+    }
+
+    @Benchmark
+    public int[] fused() {
+        return pipeline.toArray(input);
+    }
+
+    @Benchmark
+    public int[] fusedParallel() {
+        return parallelPipeline.toArray(input);
+    }
+
+    @Benchmark
+    public int[] arithmeticStepByStepArrays() {
+        int[] first = new int[input.length];
+        for (int i = 0; i < input.length; i++) {
+            first[i] = calculator.add(input[i], 3);
+        }
+        int[] evens = new int[first.length];
+        int evenCount = 0;
+        for (int value : first) {
+            if (calculator.isEven(value)) {
+                evens[evenCount++] = value;
+            }
+        }
+        int[] second = new int[evenCount];
+        for (int i = 0; i < evenCount; i++) {
+            second[i] = calculator.add(evens[i], 5);
+        }
+        int[] odds = new int[second.length];
+        int oddCount = 0;
+        for (int value : second) {
+            if (!calculator.isEven(value)) {
+                odds[oddCount++] = value;
+            }
+        }
+        int[] third = new int[oddCount];
+        for (int i = 0; i < oddCount; i++) {
+            third[i] = calculator.add(odds[i], 1);
+        }
+        return third;
+    }
+
+    @Benchmark
+    public int[] arithmeticFused() {
+        return arithmeticPipeline.toArray(input);
+    }
+
+    @Benchmark
+    public int[] arithmeticFusedParallel() {
+        return arithmeticParallelPipeline.toArray(input);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CalculatorPipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
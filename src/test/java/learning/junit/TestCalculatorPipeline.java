@@ -0,0 +1,177 @@
+package learning.junit;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for CalculatorPipeline, checking fused results against step-by-step MyCalculator calls.
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@Tag("calculator")
+@Tag("pipeline")
+class TestCalculatorPipeline {
+
+    private MyCalculator calculator;
+
+    @BeforeEach
+    void initializeCalculator() {
+        calculator = new MyCalculator();
+    }
+
+    // Reference implementation: add, then gcd, then keep evens, one MyCalculator call at a time
+    private int[] stepByStep(int[] input, int addend, int divisor) {
+        return Arrays.stream(input)
+                .map(value -> calculator.add(value, addend))
+                .map(value -> calculator.gcd(value, divisor))
+                .filter(calculator::isEven)
+                .toArray();
+    }
+
+    private static int[] randomInput(int size) {
+        return new Random(42).ints(size, 0, 1_000_000).toArray();
+    }
+
+    @Nested
+    @DisplayName("Sequential Evaluation")
+    class SequentialEvaluation {
+
+        @Test
+        @DisplayName("empty pipeline returns its input unchanged")
+        void toArray_WithNoSteps_ReturnsInputElements() {
+            int[] input = calculator.getArray();
+            assertArrayEquals(input, CalculatorPipeline.of(calculator).toArray(input),
+                    "A pipeline without steps should behave as the identity");
+        }
+
+        @Test
+        @DisplayName("fused chain matches step-by-step calls")
+        void toArray_WithChainedSteps_MatchesStepByStepResult() {
+            int[] input = randomInput(1_000);
+            CalculatorPipeline pipeline = CalculatorPipeline.of(calculator).add(3).gcd(12).filterEven();
+            assertArrayEquals(stepByStep(input, 3, 12), pipeline.toArray(input),
+                    "Fused pipeline should produce the same elements in the same order");
+        }
+
+        @Test
+        @DisplayName("sum() and count() agree with toArray()")
+        void sumAndCount_WithChainedSteps_AgreeWithCollectedElements() {
+            int[] input = randomInput(1_000);
+            CalculatorPipeline pipeline = CalculatorPipeline.of(calculator).add(1).filterOdd();
+            int[] collected = pipeline.toArray(input);
+            assertEquals(collected.length, pipeline.count(input), "count() should match the collected size");
+            assertEquals(Arrays.stream(collected).asLongStream().sum(), pipeline.sum(input),
+                    "sum() should match the sum of the collected elements");
+        }
+
+        @ParameterizedTest(name = "gcd({0}) matches MyCalculator.gcd")
+        @ValueSource(ints = {0, 1, 12, CalculatorPipeline.GCD_TABLE_LIMIT, CalculatorPipeline.GCD_TABLE_LIMIT + 1, 999_983})
+        @DisplayName("gcd() step matches MyCalculator.gcd for small and large operands")
+        void gcd_WithDifferentOperands_MatchesCalculator(int operand) {
+            int[] input = Arrays.stream(randomInput(1_000)).map(value -> value + 1).toArray();
+            int[] expected = Arrays.stream(input).map(value -> calculator.gcd(value, operand)).toArray();
+            assertArrayEquals(expected, CalculatorPipeline.of(calculator).gcd(operand).toArray(input),
+                    () -> "gcd(%d) step should agree with MyCalculator.gcd".formatted(operand));
+        }
+
+        @Test
+        @DisplayName("consecutive add() steps wrap like separate additions")
+        void add_ChainedWithOverflow_MatchesSeparateAdditions() {
+            int[] input = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+            int[] expected = Arrays.stream(input)
+                    .map(value -> calculator.add(value, Integer.MAX_VALUE))
+                    .map(value -> calculator.add(value, 1))
+                    .map(value -> calculator.add(value, -5))
+                    .toArray();
+            CalculatorPipeline pipeline = CalculatorPipeline.of(calculator).add(Integer.MAX_VALUE).add(1).add(-5);
+            assertArrayEquals(expected, pipeline.toArray(input),
+                    "Chained additions should overflow exactly as the individual add() calls do");
+        }
+
+        @Test
+        @DisplayName("calculator subclass sees one call per step and element")
+        void toArray_WithCalculatorSubclass_CallsEveryStep() {
+            int[] calls = new int[2];
+            MyCalculator countingCalculator = new MyCalculator() {
+                @Override
+                public int add(int a, int b) {
+                    calls[0]++;
+                    return super.add(a, b);
+                }
+
+                @Override
+                public int gcd(int a, int b) {
+                    calls[1]++;
+                    return super.gcd(a, b);
+                }
+            };
+            int[] input = countingCalculator.getArray();
+            CalculatorPipeline.of(countingCalculator).add(1).add(2).gcd(12).toArray(input);
+            assertEquals(2 * input.length, calls[0], "Consecutive add() steps should not be folded for a subclass");
+            assertEquals(input.length, calls[1], "gcd() should not be replaced by a table for a subclass");
+        }
+
+        @Test
+        @DisplayName("adding a step leaves the original pipeline untouched")
+        void add_OnExistingPipeline_ReturnsNewPipeline() {
+            int[] input = calculator.getArray();
+            CalculatorPipeline base = CalculatorPipeline.of(calculator).add(1);
+            CalculatorPipeline extended = base.filterEven();
+            assertArrayEquals(new int[] {2, 3, 4, 5, 6}, base.toArray(input), "Base pipeline should be unchanged");
+            assertArrayEquals(new int[] {2, 4, 6}, extended.toArray(input), "Extended pipeline should apply the filter");
+        }
+
+        @Test
+        @DisplayName("gcd() step with negative values throws IllegalArgumentException")
+        void gcd_WithNegativeElement_ThrowsException() {
+            CalculatorPipeline pipeline = CalculatorPipeline.of(calculator).add(-10).gcd(4);
+            assertThrows(IllegalArgumentException.class, () -> pipeline.toArray(calculator.getArray()),
+                    "gcd() step should keep MyCalculator's validation");
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel Evaluation")
+    class ParallelEvaluation {
+
+        private ForkJoinPool pool;
+
+        @BeforeEach
+        void createPool() {
+            pool = new ForkJoinPool(4);
+        }
+
+        @AfterEach
+        void shutdownPool() {
+            pool.shutdownNow();
+        }
+
+        @Test
+        @DisplayName("parallel evaluation matches sequential evaluation on large input")
+        void toArray_InParallel_MatchesSequentialResult() {
+            int[] input = randomInput(CalculatorPipeline.PARALLEL_THRESHOLD * 10 + 7);
+            CalculatorPipeline sequential = CalculatorPipeline.of(calculator).add(3).gcd(12).filterEven();
+            CalculatorPipeline parallel = sequential.parallel(pool);
+
+            assertArrayEquals(sequential.toArray(input), parallel.toArray(input),
+                    "Parallel pipeline should keep element order and content");
+            assertEquals(sequential.sum(input), parallel.sum(input), "Parallel sum should match");
+            assertEquals(sequential.count(input), parallel.count(input), "Parallel count should match");
+        }
+
+        @Test
+        @DisplayName("parallel evaluation propagates step exceptions")
+        void toArray_InParallelWithInvalidGcd_ThrowsException() {
+            int[] input = new int[CalculatorPipeline.PARALLEL_THRESHOLD * 4];
+            CalculatorPipeline pipeline = CalculatorPipeline.of(calculator).gcd(0).parallel(pool);
+            assertThrows(IllegalArgumentException.class, () -> pipeline.toArray(input),
+                    "gcd(0, 0) should fail in parallel evaluation as well");
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package learning.junit;
+
+import learning.junit.entities.User;
+import learning.junit.repositories.UserRepository;
+import learning.junit.services.UserServiceImpl;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Multi-threaded stress suite for UserRepository and UserServiceImpl.
+ * <p>
+ * Every scenario releases all workers through a shared start gate to maximise contention,
+ * then checks the resulting state against what a sequential execution would produce.
+ * Throughput for each scenario is printed as a side effect.
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@Tag("stress")
+class UserConcurrencyStressTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int OPERATIONS_PER_THREAD = 10_000;
+    // findByRole() scans the whole store, so readers perform far fewer calls than writers
+    private static final int READS_PER_READER = 100;
+    private static final int ROLE_CHANGE_ROUNDS = 20;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private UserRepository userRepository;
+    private UserServiceImpl userService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new UserRepository();
+        userService = new UserServiceImpl(userRepository);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // ========== Id Assignment ==========
+
+    @Nested
+    @DisplayName("Id Assignment")
+    class IdAssignment {
+
+        @Test
+        @DisplayName("concurrent createUser() assigns unique, gap-free ids")
+        void createUser_FromManyThreads_AssignsUniqueContiguousIds() throws Exception {
+            List<List<User>> createdPerThread = runConcurrently("createUser", (long) THREADS * OPERATIONS_PER_THREAD, threadIndex -> {
+                List<User> created = new ArrayList<>(OPERATIONS_PER_THREAD);
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    created.add(userService.createUser(newUser("user-" + threadIndex + "-" + i, "USER")));
+                }
+                return created;
+            });
+
+            int total = THREADS * OPERATIONS_PER_THREAD;
+            Set<Long> ids = new HashSet<>(total);
+            for (List<User> created : createdPerThread) {
+                long previousId = 0;
+                for (User user : created) {
+                    assertTrue(ids.add(user.getId()), () -> "Id %d was assigned twice".formatted(user.getId()));
+                    // Ids handed to a single thread must increase in program order
+                    assertTrue(user.getId() > previousId, "Ids observed by one thread should be increasing");
+                    previousId = user.getId();
+                    assertSame(user, userRepository.findByIdOrNull(user.getId()),
+                            "Repository should store each user under its assigned id");
+                }
+            }
+            assertEquals(total, ids.size(), "Every created user should receive its own id");
+            assertEquals(1L, ids.stream().mapToLong(Long::longValue).min().orElseThrow(), "Ids should start at 1");
+            assertEquals(total, ids.stream().mapToLong(Long::longValue).max().orElseThrow(), "Ids should have no gaps");
+            assertEquals(total, userRepository.findAll().size(), "No saved user should be lost");
+        }
+    }
+
+    // ========== Deactivation ==========
+
+    @Nested
+    @DisplayName("Deactivation")
+    class Deactivation {
+
+        @Test
+        @DisplayName("deactivateUser() racing with a rename keeps both changes")
+        void deactivateUser_RacingWithRename_KeepsBothChanges() throws Exception {
+            int userCount = OPERATIONS_PER_THREAD;
+            int pairs = THREADS / 2;
+            List<Long> ids = createUsers(userCount, "USER");
+
+            // Thread t deactivates and thread t + pairs renames the same users in the same order,
+            // meeting at a barrier before each user so both writers hit it at the same time. Each
+            // writer saves its own field only, so a store that drops or overwrites either save fails below.
+            List<CyclicBarrier> barriers = new ArrayList<>(pairs);
+            for (int p = 0; p < pairs; p++) {
+                barriers.add(new CyclicBarrier(2));
+            }
+            runConcurrently("deactivateUser+rename", 2L * userCount, threadIndex -> {
+                if (threadIndex >= 2 * pairs) {
+                    return null;
+                }
+                boolean deactivator = threadIndex < pairs;
+                CyclicBarrier barrier = barriers.get(threadIndex % pairs);
+                for (int i = threadIndex % pairs; i < userCount; i += pairs) {
+                    Long id = ids.get(i);
+                    barrier.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+                    if (deactivator) {
+                        userService.deactivateUser(id);
+                    } else {
+                        User user = userService.getUserById(id);
+                        user.setUsername("renamed-" + i);
+                        user.setRoles(List.of("USER", "AUDITOR"));
+                        userRepository.save(user);
+                    }
+                }
+                return null;
+            });
+
+            for (int i = 0; i < userCount; i++) {
+                Long id = ids.get(i);
+                User user = userService.getUserById(id);
+                assertFalse(user.isActive(), () -> "Deactivation of user %d was lost".formatted(id));
+                assertEquals("renamed-" + i, user.getUsername(),
+                        () -> "Rename of user %d was lost".formatted(id));
+                assertEquals(List.of("USER", "AUDITOR"), user.getRoles(),
+                        () -> "Role change of user %d was lost".formatted(id));
+            }
+            assertEquals(userCount, userRepository.findAll().size(),
+                    "Concurrent updates should neither add nor remove users");
+        }
+    }
+
+    // ========== Role Index ==========
+
+    @Nested
+    @DisplayName("Role Index")
+    class RoleIndex {
+
+        @Test
+        @DisplayName("findByRole() matches final roles after concurrent role changes")
+        void findByRole_WhileChangingRoles_MatchesFinalRoles() throws Exception {
+            int userCount = OPERATIONS_PER_THREAD;
+            int writers = THREADS / 2;
+            int readers = THREADS - writers;
+            List<Long> ids = createUsers(userCount, "USER");
+            long operations = (long) ROLE_CHANGE_ROUNDS * (userCount + writers) + userCount / 2
+                    + (long) readers * READS_PER_READER;
+
+            // Writers own disjoint users: every round re-saves each owned user with a flipped role,
+            // the last round also deactivates half of them, and each round inserts one new user.
+            List<Map<Long, String>> createdPerThread = runConcurrently("changeRoles+findByRole", operations, threadIndex -> {
+                if (threadIndex < writers) {
+                    Map<Long, String> created = new HashMap<>();
+                    for (int round = 0; round < ROLE_CHANGE_ROUNDS; round++) {
+                        for (int i = threadIndex; i < userCount; i += writers) {
+                            User current = userService.getUserById(ids.get(i));
+                            userRepository.save(withRoles(current, roleFor(i, round)));
+                            if (round == ROLE_CHANGE_ROUNDS - 1 && i % 2 == 0) {
+                                userService.deactivateUser(current.getId());
+                            }
+                        }
+                        String role = roleFor(threadIndex, round);
+                        created.put(userService.createUser(newUser("new-" + threadIndex + "-" + round, role)).getId(), role);
+                    }
+                    return created;
+                }
+                for (int i = 0; i < READS_PER_READER; i++) {
+                    Set<Long> seen = new HashSet<>();
+                    for (User admin : userService.findByRole("ADMIN")) {
+                        assertTrue(admin.getRoles().contains("ADMIN"), "findByRole() returned a non-matching user");
+                        assertTrue(seen.add(admin.getId()),
+                                () -> "findByRole() returned user %d twice".formatted(admin.getId()));
+                    }
+                }
+                return Map.of();
+            });
+
+            Map<Long, String> expectedRoles = new HashMap<>();
+            for (int i = 0; i < userCount; i++) {
+                expectedRoles.put(ids.get(i), roleFor(i, ROLE_CHANGE_ROUNDS - 1));
+            }
+            createdPerThread.forEach(expectedRoles::putAll);
+
+            assertRoleIndexMatches("ADMIN", expectedRoles);
+            assertRoleIndexMatches("USER", expectedRoles);
+            for (int i = 0; i < userCount; i++) {
+                assertEquals(i % 2 != 0, userService.getUserById(ids.get(i)).isActive(),
+                        "Only users deactivated in the last round should be inactive");
+            }
+            assertEquals(userCount + writers * ROLE_CHANGE_ROUNDS, userRepository.findAll().size(),
+                    "No saved user should be lost or duplicated");
+        }
+
+        private void assertRoleIndexMatches(String role, Map<Long, String> expectedRoles) {
+            Set<Long> actualIds = new HashSet<>();
+            for (User user : userService.findByRole(role)) {
+                assertTrue(actualIds.add(user.getId()),
+                        () -> "findByRole(%s) returned user %d twice".formatted(role, user.getId()));
+            }
+            Set<Long> expectedIds = new HashSet<>();
+            expectedRoles.forEach((id, expectedRole) -> {
+                if (expectedRole.equals(role)) {
+                    expectedIds.add(id);
+                }
+            });
+            assertEquals(expectedIds, actualIds,
+                    () -> "findByRole(%s) should return exactly the users whose final role is %s".formatted(role, role));
+        }
+
+        private static String roleFor(int index, int round) {
+            return (index + round) % 2 == 0 ? "ADMIN" : "USER";
+        }
+
+        // Role changes are saved as a fresh copy so readers never see a returned user's roles change
+        private static User withRoles(User user, String role) {
+            return new User(user.getId(), user.getUsername(), user.getEmail(), List.of(role), user.isActive(), user.getBirthDate());
+        }
+    }
+
+    // ========== Harness ==========
+
+    /**
+     * Runs {@code task} on every worker thread at once and returns the per-thread results in thread order.
+     * Prints the aggregate throughput of the scenario based on the given total operation count.
+     */
+    private <T> List<T> runConcurrently(String scenario, long operations, Worker<T> task) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int threadIndex = t;
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return task.run(threadIndex);
+            }));
+        }
+
+        assertTrue(ready.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), "Workers did not start in time");
+        long startNanos = System.nanoTime();
+        start.countDown();
+
+        List<T> results = new ArrayList<>(THREADS);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+            }
+        } catch (ExecutionException e) {
+            // Surface assertion failures raised on worker threads as-is
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        System.out.printf("%s: %d threads, %d ops in %d ms (%.0f ops/s)%n",
+                scenario, THREADS, operations, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                operations * 1_000_000_000.0 / Math.max(1, elapsedNanos));
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Worker<T> {
+        T run(int threadIndex) throws Exception;
+    }
+
+    private List<Long> createUsers(int count, String role) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(userService.createUser(newUser("user-" + i, role)).getId());
+        }
+        return ids;
+    }
+
+    private static User newUser(String username, String role) {
+        return new User(null, username, username + "@example.com", List.of(role), false, LocalDate.of(2000, 1, 1));
+    }
+}
@@ -0,0 +1,99 @@
+package learning.junit;
+
+import learning.junit.entities.User;
+import learning.junit.repositories.UserRepository;
+import learning.junit.services.UserServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation regression guard for the user lookup hot path.
+ * <p>
+ * Runs the benchmarks below under JMH's GC profiler and fails when any of them
+ * allocates on average a byte or more per operation.
+ */
+@Tag("performance")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserLookupAllocationTest {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private UserServiceImpl userService;
+
+    // Held as boxed fields so the benchmark itself does not box on every call
+    private Long existingId;
+    private Long missingId;
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = new UserRepository();
+        userService = new UserServiceImpl(userRepository);
+        User user = userRepository.save(
+                new User(null, "Yassine", "yassineriahi0417@gmail.com", List.of("ADMIN"), true, LocalDate.of(2000, 4, 1)));
+        existingId = user.getId();
+        missingId = 1_000_000L;
+    }
+
+    @Benchmark
+    public User getUserByIdHit() {
+        return userService.getUserById(existingId);
+    }
+
+    @Benchmark
+    public User findUserHit() {
+        return userService.findUser(existingId);
+    }
+
+    @Benchmark
+    public User findUserMiss() {
+        return userService.findUser(missingId);
+    }
+
+    @Test
+    @DisplayName("User lookups allocate zero bytes per operation")
+    void userLookups_UnderGcProfiler_AllocateNothing() throws RunnerException {
+        // Escape analysis is disabled so the guard checks the allocations written in the source,
+        // not what is left after C2 removes non-escaping objects such as an Optional or a lambda
+        Options options = new OptionsBuilder()
+                .include(UserLookupAllocationTest.class.getName() + "\\.")
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .jvmArgsAppend("-XX:-DoEscapeAnalysis")
+                .warmupIterations(3)
+                .warmupTime(TimeValue.milliseconds(500))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.milliseconds(500))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse(results.isEmpty(), "Expected JMH to run the lookup benchmarks");
+
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            Result<?> allocation = result.getSecondaryResults().get(ALLOCATION_METRIC);
+            assertNotNull(allocation, () -> "GC profiler did not report %s for %s".formatted(ALLOCATION_METRIC, benchmark));
+            // The metric is averaged over all operations, so allow sub-byte profiler noise
+            assertTrue(allocation.getScore() < 1.0,
+                    () -> "%s should not allocate, but allocated %.2f bytes/op".formatted(benchmark, allocation.getScore()));
+        }
+    }
+}
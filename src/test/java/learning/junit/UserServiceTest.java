@@ -17,7 +17,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -49,20 +48,20 @@ class UserServiceTest {
     @Test
     @DisplayName("Should return user when a valid ID is provided")
     void whenValidUserIdProvided_thenReturnMatchingUser() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByIdOrNull(1L)).thenReturn(testUser);
         User foundUser = userService.getUserById(1L);
         assertNotNull(foundUser, "Expected a user for a valid ID");
         assertEquals(testUser, foundUser, "Retrieved user should match the expected user");
-        verify(userRepository).findById(1L);
+        verify(userRepository).findByIdOrNull(1L);
     }
 
     @Test
     @DisplayName("Should throw UserNotFoundException for a non-existing user ID")
     void whenNonExistingUserIdProvided_thenThrowException() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findByIdOrNull(anyLong())).thenReturn(null);
         assertThrows(UserNotFoundException.class, () -> userService.getUserById(99L),
                 "Expected a UserNotFoundException for a non-existing user ID");
-        verify(userRepository).findById(99L);
+        verify(userRepository).findByIdOrNull(99L);
     }
 
     @Test
@@ -77,17 +76,39 @@ class UserServiceTest {
     @ValueSource(longs = {-1L, 0})
     @DisplayName("Should throw UserNotFoundException for negative or zero user ID")
     void whenNegativeOrZeroIdProvided_thenThrowException(long negativeId) {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findByIdOrNull(anyLong())).thenReturn(null);
         UserNotFoundException exception = assertThrows(UserNotFoundException.class,
                 () -> userService.getUserById(negativeId),
                 "Expected a UserNotFoundException for negative or zero user ID");
         assertEquals(negativeId, exception.getUserId(), "Exception should contain the correct user ID");
     }
 
+    @Test
+    @DisplayName("Should not capture a stack trace for UserNotFoundException")
+    void whenUserNotFound_thenExceptionHasNoStackTrace() {
+        when(userRepository.findByIdOrNull(99L)).thenReturn(null);
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+                () -> userService.getUserById(99L),
+                "Expected a UserNotFoundException for a non-existing user ID");
+        assertEquals(0, exception.getStackTrace().length, "Not-found exceptions should be stackless");
+        assertTrue(exception.getMessage().contains("99"), "Exception message should contain the user ID");
+        verify(userRepository).findByIdOrNull(99L);
+    }
+
+    @Test
+    @DisplayName("Should return null from findUser for a non-existing user ID")
+    void whenFindUserWithNonExistingId_thenReturnNull() {
+        when(userRepository.findByIdOrNull(99L)).thenReturn(null);
+        User foundUser = assertDoesNotThrow(() -> userService.findUser(99L),
+                "findUser should not throw for a non-existing user ID");
+        assertNull(foundUser, "Expected no user for a non-existing ID");
+        verify(userRepository).findByIdOrNull(99L);
+    }
+
     @Test
     @DisplayName("Should mark user as inactive after deactivation")
     void whenUserDeactivated_thenReturnInactive() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByIdOrNull(1L)).thenReturn(testUser);
         userService.deactivateUser(1L);
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         verify(userRepository).save(userCaptor.capture());
@@ -117,10 +138,10 @@ class UserServiceTest {
     @Test
     @DisplayName("Should return consistent details on repeated calls")
     void whenCalledRepeatedly_thenReturnSameDetails() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findByIdOrNull(1L)).thenReturn(testUser);
         User firstCall = userService.getUserById(1L);
         User secondCall = userService.getUserById(1L);
         assertEquals(firstCall, secondCall, "Expected consistent user details on repeated calls");
-        verify(userRepository, times(2)).findById(1L);
+        verify(userRepository, times(2)).findByIdOrNull(1L);
     }
 }
\ No newline at end of file